@@ -0,0 +1,257 @@
+import java.io.*;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+public class BatchRanker {
+
+    int numThreads; // number of tournaments solved concurrently
+    int maxQueued; // number of tournaments allowed to wait for a worker before reading more input blocks
+    long maxRuntime; // runtime budget per tournament in milliseconds (0 = no limit)
+
+    int maxNumNonImprove;
+    double initialTemp;
+    int temperatureLength;
+    double coolingRate;
+    Objective objective;
+
+    ExecutorService pool;
+    Semaphore slots; // bounds jobs in flight (running + queued), giving backpressure on the input
+    PrintStream out;
+
+    /**
+     * BatchRanker constructor
+     * Creates BatchRanker object - a long-running service that solves many tournaments in one JVM
+     *
+     * @param numThreads
+     * @param maxQueued
+     * @param maxRuntime
+     * @param maxNumNonImprove
+     * @param initialTemp
+     * @param temperatureLength
+     * @param coolingRate
+     * @param objective = cost function to minimise
+     * @param out = stream results are written to
+     */
+    public BatchRanker(int numThreads, int maxQueued, long maxRuntime, int maxNumNonImprove, double initialTemp, int temperatureLength, double coolingRate, Objective objective, PrintStream out){
+
+        this.numThreads = numThreads;
+        this.maxQueued = maxQueued;
+        this.maxRuntime = maxRuntime;
+
+        this.maxNumNonImprove = maxNumNonImprove;
+        this.initialTemp = initialTemp;
+        this.temperatureLength = temperatureLength;
+        this.coolingRate = coolingRate;
+        this.objective = objective;
+
+        this.pool = Executors.newFixedThreadPool(numThreads);
+        this.slots = new Semaphore(numThreads + maxQueued);
+        this.out = out;
+    }
+
+    /**
+     * submit function
+     * Schedules a tournament file to be solved, blocking while the pool is full
+     *
+     * @param String fileName = tournament file
+     * @throws InterruptedException
+     */
+    public void submit(String fileName) throws InterruptedException {
+        slots.acquire();
+        try{
+            pool.execute(() -> {
+                try{
+                    solve(fileName);
+                }finally{
+                    slots.release();
+                }
+            });
+        }
+        catch ( RuntimeException e ) {
+            slots.release();
+            throw e;
+        }
+    }
+
+    /**
+     * solve function
+     * Runs SA algorithm on a single tournament file and writes one csv row of results- Status is ok, budget exceeded or error
+     *
+     * @param String fileName = tournament file
+     * @return void
+     */
+    private void solve(String fileName){
+        try{
+            // Budget covers loading the tournament and scoring the initial solution, not just the SA run
+            long startTime = System.currentTimeMillis();
+            long deadline = (maxRuntime > 0) ? startTime + maxRuntime : 0;
+
+            Tournament T = new Tournament(fileName);
+
+            // Construct initial solution using the order of participants in input file
+            int[] initialSolutionR = new int[T.numParticipants];
+            for (int i = 0; i < T.numParticipants; i++) {
+                initialSolutionR[i] = i+1;
+            }
+
+            SimulatedAnnealing SA = new SimulatedAnnealing(T, initialSolutionR, maxNumNonImprove, initialTemp, temperatureLength, coolingRate, deadline, objective);
+            Ranking xBest = SA.runAlgorithm();
+            long runtime = System.currentTimeMillis() - startTime;
+
+            writeRow(
+                quote(fileName) +","+  // Tournament file
+                (SA.budgetExceeded ? "budget exceeded" : "ok") +","+  // Status
+                T.numParticipants +","+  // Num participants
+                xBest.cost +","+  // Score under objective
+                runtime +","+  // Runtime
+                SA.iterationNum +","+  // Num iterations
+                SA.numberOfUphillMoves +","+  // Num uphill moves
+                " "+Arrays.toString(xBest.R).replaceAll(", ", "-") +","+  // Best solution
+                ""  // Error
+            );
+        }
+        catch ( Exception | OutOfMemoryError e ) {
+            // Every submitted tournament gets a row, so a failed job can be told apart from one still running
+            writeRow(quote(fileName) + ",error,,,,,,," + quote(e.toString()));
+        }
+    }
+
+    /**
+     * quote function
+     * Quotes a csv field, which may contain commas or quotes
+     *
+     * @param String s
+     * @return String quoted field
+     */
+    private static String quote(String s){
+        return "\""+s.replace("\"", "\"\"")+"\"";
+    }
+
+    /**
+     * writeRow function
+     * Writes a single result row as soon as its solve finishes - synchronized so rows from different workers don't interleave
+     *
+     * @param String row
+     * @return void
+     */
+    private synchronized void writeRow(String row){
+        out.println(row);
+        out.flush();
+    }
+
+    /**
+     * writeHeader function
+     * @return void
+     */
+    public void writeHeader(){
+        writeRow("Tournament,Status,Num participants,Score,Runtime,Num iterations,Num uphill moves,Best Solution,Error");
+    }
+
+    /**
+     * shutdown function
+     * Stops accepting work and waits for all scheduled tournaments to finish
+     *
+     * @throws InterruptedException
+     */
+    public void shutdown() throws InterruptedException {
+        pool.shutdown();
+        pool.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * parseObjective function
+     * Returns objective named on the command line- kemeny, weighted (PositionWeightedKemenyObjective) or top<k>, e.g. top10 (TopKObjective)
+     *
+     * @param String name
+     * @return Objective
+     * @throws IllegalArgumentException if name isn't recognised
+     */
+    static Objective parseObjective(String name){
+        if (name.equals("kemeny")) {
+            return new KemenyObjective();
+        }else if (name.equals("weighted")) {
+            return new PositionWeightedKemenyObjective();
+        }else if (name.matches("top\\d+")) {
+            return new TopKObjective(Integer.parseInt(name.substring(3)));
+        }
+        throw new IllegalArgumentException("Unknown objective: " + name + " (expected kemeny, weighted or top<k>)");
+    }
+
+    /**
+     * main function
+     * Usage: java BatchRanker <directory | -> [numThreads] [maxRuntime (ms)] [objective]
+     * A directory is solved file by file (*.wmg), while '-' reads tournament file paths from stdin, one per line, until EOF.
+     * Results are written to stdout as csv, one row per tournament in order of completion- including tournaments which failed.
+     */
+    public static void main(String[] args) throws Exception {
+
+        String usage = "Usage: java BatchRanker <directory | -> [numThreads] [maxRuntime (ms)] [kemeny | weighted | top<k>]";
+        if (args.length < 1) {
+            System.err.println(usage);
+            System.exit(1);
+        }
+
+        // Set batch parameters
+        int numThreads = 0;
+        long maxRuntime = 0;
+        Objective objective = null;
+        try{
+            numThreads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+            maxRuntime = args.length > 2 ? Long.parseLong(args[2]) : 10000; // per tournament, so one huge tournament cannot starve the others
+            objective = parseObjective(args.length > 3 ? args[3] : "kemeny");
+            if (numThreads < 1 || maxRuntime < 0) {
+                throw new IllegalArgumentException("numThreads must be at least 1 and maxRuntime at least 0");
+            }
+        }
+        catch ( IllegalArgumentException e ) {
+            System.err.println(e.getMessage());
+            System.err.println(usage);
+            System.exit(1);
+        }
+        int maxQueued = numThreads; // tournaments read ahead of the workers
+
+        // Directory of tournament files- listed before the pool is started, so a bad path exits cleanly
+        File[] files = null;
+        if (!args[0].equals("-")) {
+            files = new File(args[0]).listFiles((dir, name) -> name.endsWith(".wmg"));
+            if (files == null) {
+                System.err.println("Not a directory: " + args[0]);
+                System.exit(1);
+            }
+            Arrays.sort(files);
+        }
+
+        // Set algorithm parameters- same as SimulatedAnnealing.main
+        int maxNumNonImprove = 700;
+        double initialTemp = 20;
+        int temperatureLength = 75;
+        double coolingRate = 0.99;
+
+        BatchRanker batch = new BatchRanker(numThreads, maxQueued, maxRuntime, maxNumNonImprove, initialTemp, temperatureLength, coolingRate, objective, System.out);
+        batch.writeHeader();
+
+        // Pool threads are non-daemon, so always shut down- even if reading input fails- or the JVM never exits
+        try{
+            if (files == null) {
+                // Stream of file paths on stdin- submit blocks when the pool is full, so input is only read as fast as it is solved
+                BufferedReader in = new BufferedReader(new InputStreamReader(System.in));
+                String s = in.readLine();
+                while (s != null) {
+                    if (!s.trim().isEmpty()) {
+                        batch.submit(s.trim());
+                    }
+                    s = in.readLine();
+                }
+            }else{
+                for (File file : files) {
+                    batch.submit(file.getPath());
+                }
+            }
+        }finally{
+            batch.shutdown();
+        }
+    }
+}
@@ -0,0 +1,137 @@
+import java.util.Arrays;
+import java.util.Random;
+
+public class CostBenchmark {
+
+    /**
+     * getKemenyScoreLegacy function
+     * Previous Ranking.getCostFromScratch- checks every contest with getkChange, which finds both positions with indexOf, so O(n^3)
+     * 
+     * @param int[][] matrix = tournament score matrix
+     * @param Integer[] R = ranking array
+     * @return int k = Kemeny Score
+     */
+    static int getKemenyScoreLegacy(int[][] matrix, Integer[] R){
+
+        int k = 0;
+        for (int a = 1; a <= R.length; a++) {
+            for (int b = a+1; b <= R.length; b++) {
+                int kChange = getkChangeLegacy(matrix, R, a, b);
+                if (kChange > 0) {
+                    k += kChange;
+                }
+            }
+        }
+        return k;
+    }
+
+    /**
+     * getkChangeLegacy function
+     * Previous Ranking.getkChange- positive weight of edge a,b if R disagrees with it
+     */
+    static int getkChangeLegacy(int[][] matrix, Integer[] R, int a, int b){
+
+        int rankA = Arrays.asList(R).indexOf(a);
+        int rankB = Arrays.asList(R).indexOf(b);
+
+        int k=0;
+        if (matrix[a-1][b-1] > matrix[b-1][a-1]) {
+            k += (rankA > rankB) ? matrix[a-1][b-1] : -matrix[a-1][b-1];
+        }else if (matrix[b-1][a-1] > matrix[a-1][b-1]){
+            k += (rankA < rankB) ? matrix[b-1][a-1] : -matrix[b-1][a-1];
+        }
+        return k;
+    }
+
+    /**
+     * randomTournament function
+     * Builds a random tournament in the same form as the input files- a single positive margin per contest, with some ties
+     * 
+     * @param int n = number of participants
+     * @param Random random
+     * @return int[][] matrix
+     */
+    static int[][] randomTournament(int n, Random random){
+        int[][] matrix = new int[n][n];
+        for (int a = 0; a < n; a++) {
+            for (int b = a+1; b < n; b++) {
+                int margin = random.nextInt(41) - 20;
+                if (margin > 0) {
+                    matrix[a][b] = margin;
+                }else{
+                    matrix[b][a] = -margin;
+                }
+            }
+        }
+        return matrix;
+    }
+
+    /**
+     * time function
+     * Warms up with several calls, then returns best of reps runtime in milliseconds
+     */
+    static double time(Runnable r, int warmups, int reps){
+        for (int i = 0; i < warmups; i++) {
+            r.run();
+        }
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < reps; i++) {
+            long start = System.nanoTime();
+            r.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best / 1000000.0;
+    }
+
+    /**
+     * main function
+     * Times the startup cost of new Ranking(T, R) for n = 1k-20k, along with each full-cost implementation, and checks results are identical
+     * The previous O(n^3) implementation is only timed up to legacyMaxN, as it takes minutes beyond that
+     * Run with enough heap for the largest matrix, e.g. java -Xmx4g CostBenchmark
+     * To include the Vector API kernel, compile it (see vector/VectorCostEvaluator.java) and run with --add-modules jdk.incubator.vector
+     */
+    public static void main(String[] args) {
+
+        int[] sizes = {1000, 2000, 5000, 10000, 20000};
+        int legacyMaxN = 1000;
+        int warmups = 5;
+        int reps = 5;
+        Random random = new Random(1);
+
+        System.out.println("Vector API kernel: " + (CostEvaluator.isVectorised() ? "yes" : "no"));
+        System.out.println("n,new Ranking (ms),Blocked (ms),Vector (ms),Legacy O(n^3) (ms),Identical");
+        for (int n : sizes) {
+            Tournament T = new Tournament(randomTournament(n, random));
+
+            // Random ranking
+            int[] R = new int[n];
+            for (int i = 0; i < n; i++) {
+                R[i] = i+1;
+            }
+            for (int i = n-1; i > 0; i--) {
+                int j = random.nextInt(i+1);
+                int tmp = R[i];
+                R[i] = R[j];
+                R[j] = tmp;
+            }
+
+            long k = new Ranking(T, R).cost;
+            boolean identical = (CostEvaluator.getKemenyScoreBlocked(T.matrix, R) == k);
+
+            double rankingTime = time(() -> new Ranking(T, R), warmups, reps);
+            double blockedTime = time(() -> CostEvaluator.getKemenyScoreBlocked(T.matrix, R), warmups, reps);
+            String vectorTime = "n/a";
+            if (CostEvaluator.isVectorised()) {
+                identical &= (CostEvaluator.getKemenyScoreVector(T.matrix, R) == k);
+                vectorTime = String.valueOf(time(() -> CostEvaluator.getKemenyScoreVector(T.matrix, R), warmups, reps));
+            }
+            String legacyTime = "n/a";
+            if (n <= legacyMaxN) {
+                Integer[] legacyR = Arrays.stream(R).boxed().toArray(Integer[]::new);
+                identical &= (getKemenyScoreLegacy(T.matrix, legacyR) == k);
+                legacyTime = String.valueOf(time(() -> getKemenyScoreLegacy(T.matrix, legacyR), 2, 3));
+            }
+            System.out.println(n +","+ rankingTime +","+ blockedTime +","+ vectorTime +","+ legacyTime +","+ identical);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+public class CostEvaluator {
+
+    static final int BLOCK_SIZE = 64; // tile width- a 64x64 tile of matrix and its transpose fit comfortably in L1/L2 cache
+    static final MethodHandle VECTOR_KERNEL = findVectorKernel(); // null when Vector API kernel isn't available
+    static final int VECTOR_MAX_N = 5000; // from here the kernel's gathers miss cache and the blocked loop is as fast or faster (see CostBenchmark)
+
+    /**
+     * findVectorKernel function
+     * Looks up VectorCostEvaluator.getKemenyScore, which is only usable when the JVM was started with --add-modules jdk.incubator.vector
+     * and vector/VectorCostEvaluator.java has been compiled (see that file)
+     * 
+     * @return MethodHandle kernel, or null if not available
+     */
+    private static MethodHandle findVectorKernel(){
+        try{
+            Class.forName("jdk.incubator.vector.IntVector");
+            Class<?> kernel = Class.forName("VectorCostEvaluator");
+            return MethodHandles.lookup().findStatic(kernel, "getKemenyScore", MethodType.methodType(long.class, int[][].class, int[].class));
+        }
+        catch ( ReflectiveOperationException | LinkageError e ) {
+            return null;
+        }
+    }
+
+    /**
+     * isVectorised function
+     * @return boolean true if getKemenyScore uses the Vector API kernel
+     */
+    public static boolean isVectorised(){
+        return VECTOR_KERNEL != null;
+    }
+
+    /**
+     * getKemenyScore function
+     * Calculates Kemeny Score of ranking R from scratch in O(n^2)- with the Vector API kernel if available and n < VECTOR_MAX_N,
+     * otherwise getKemenyScoreBlocked
+     * 
+     * @param int[][] matrix = tournament score matrix
+     * @param int[] R = ranking array (participant numbers starting at 1)
+     * @return long k = Kemeny Score
+     */
+    public static long getKemenyScore(int[][] matrix, int[] R){
+        if (VECTOR_KERNEL != null && R.length < VECTOR_MAX_N) {
+            return getKemenyScoreVector(matrix, R);
+        }
+        return getKemenyScoreBlocked(matrix, R);
+    }
+
+    /**
+     * getKemenyScoreVector function
+     * Calls the Vector API kernel, VectorCostEvaluator.getKemenyScore- only valid when isVectorised()
+     * 
+     * @param int[][] matrix = tournament score matrix
+     * @param int[] R = ranking array (participant numbers starting at 1)
+     * @return long k = Kemeny Score
+     */
+    public static long getKemenyScoreVector(int[][] matrix, int[] R){
+        if (VECTOR_KERNEL == null) {
+            throw new IllegalStateException("Vector API kernel not available");
+        }
+        try{
+            return (long) VECTOR_KERNEL.invokeExact(matrix, R);
+        }
+        catch ( Throwable e ) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * getKemenyScoreBlocked function
+     * Scalar implementation of getKemenyScore
+     * 
+     * Positions of each participant are looked up once into a primitive array, then the matrix is walked in square tiles
+     * so that matrix[a][b] and its mirror matrix[b][a] are both read from cache rather than striding down a column.
+     * Ties are ignored- see Objective.getDisagreement.
+     * 
+     * @param int[][] matrix = tournament score matrix
+     * @param int[] R = ranking array (participant numbers starting at 1)
+     * @return long k = Kemeny Score
+     */
+    public static long getKemenyScoreBlocked(int[][] matrix, int[] R){
+
+        int n = R.length;
+
+        // Get position in ranking of each participant (matrix index)
+        int[] pos = new int[n];
+        for (int i = 0; i < n; i++) {
+            pos[R[i]-1] = i;
+        }
+
+        long k = 0;
+        for (int aStart = 0; aStart < n; aStart += BLOCK_SIZE) {
+            int aEnd = Math.min(aStart + BLOCK_SIZE, n);
+            for (int bStart = aStart; bStart < n; bStart += BLOCK_SIZE) {
+                int bEnd = Math.min(bStart + BLOCK_SIZE, n);
+                for (int a = aStart; a < aEnd; a++) {
+                    int[] rowA = matrix[a];
+                    int rankA = pos[a];
+                    for (int b = Math.max(a+1, bStart); b < bEnd; b++) {
+                        int ab = rowA[b];
+                        int ba = matrix[b][a];
+                        if (ab > ba) {
+                            // a won, so disagrees if a is after b in ranking
+                            if (rankA > pos[b]) {
+                                k += ab;
+                            }
+                        }else if (ba > ab) {
+                            // b won, so disagrees if b is after a in ranking
+                            if (rankA < pos[b]) {
+                                k += ba;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return k;
+    }
+}
@@ -0,0 +1,48 @@
+
+public class KemenyObjective implements Objective {
+
+    /**
+     * getCostFromScratch function
+     * 
+     * Based on Kemeny Score, which measures amount that ranking R disagrees with tournament T 
+     * A ranking R disagrees with T on an edge (x,y) if x defeats y in T but y is ranked above x in R
+     * We can measure how well R fits T by adding up all the weights of all the edges for which R disagrees with T
+     * See CostEvaluator for the O(n^2) implementation
+     * 
+     * @param int[][] matrix = tournament score matrix
+     * @param int[] R = ranking array
+     * @return long k = Kemeny Score (best solution = ranking with lowest k)
+     */
+    @Override
+    public long getCostFromScratch(int[][] matrix, int[] R){
+        return CostEvaluator.getKemenyScore(matrix, R);
+    }
+
+    /**
+     * getAdjacentSwapChange function
+     * Only the contest between the two swapped participants changes- O(1)
+     */
+    @Override
+    public long getAdjacentSwapChange(int[][] matrix, int[] R, int off, int s){
+        return Objective.getFlipChange(matrix, R[off+s], R[off+s+1]);
+    }
+
+    /**
+     * getSwapChange function
+     * Only contests between a swapped participant and a participant between the swap positions change- O(s2-s1)
+     */
+    @Override
+    public long getSwapChange(int[][] matrix, int[] R, int off, int s1, int s2){
+
+        int x = R[off+s1];
+        int y = R[off+s2];
+        long kChange = Objective.getFlipChange(matrix, x, y);
+
+        // Check middle indexes: x moves below them, y moves above them
+        for (int i = off+s1+1; i < off+s2; i++) {
+            kChange += Objective.getFlipChange(matrix, x, R[i]);
+            kChange += Objective.getFlipChange(matrix, R[i], y);
+        }
+        return kChange;
+    }
+}
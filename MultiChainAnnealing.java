@@ -0,0 +1,255 @@
+import java.util.Random;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.io.*;
+
+public class MultiChainAnnealing {
+
+    Tournament T;
+    int n; // number of participants
+    int numChains; // number of independent SA chains advanced in lockstep on one thread
+    int maxNumNonImprove;
+    double initialTemp;
+    int temperatureLength;
+    double coolingRate;
+    Objective objective; // cost function being minimised
+
+    // Chain state, structure-of-arrays- chain c occupies [c*n, (c+1)*n) of each ranking buffer
+    int[] R; // R[c*n + i] = participant at position i of chain c (participant numbers start at 1)
+    int[] bestR; // best ranking found by each chain
+    long[] cost; // cost of current ranking of each chain
+    long[] bestCost;
+    int[] iterationNum; // total number of iterations of each chain
+    int[] numberOfUphillMoves; // uphill moves accepted by each chain
+    int stateSize; // longs of objective state per chain
+    long[] state; // objective state, chain c occupies [c*stateSize, (c+1)*stateSize)
+
+    /**
+     * MultiChainAnnealing constructor
+     * Creates MultiChainAnnealing object - numChains copies of the SimulatedAnnealing chain, all starting from initialSolution
+     *
+     * @param T
+     * @param initialSolutionR
+     * @param numChains
+     * @param maxNumNonImprove
+     * @param initialTemp
+     * @param temperatureLength
+     * @param coolingRate
+     * @param objective
+     */
+    public MultiChainAnnealing(Tournament T, int[] initialSolutionR, int numChains, int maxNumNonImprove, double initialTemp, int temperatureLength, double coolingRate, Objective objective){
+
+        this.T = T;
+        this.objective = objective;
+        this.n = initialSolutionR.length;
+        this.numChains = numChains;
+        this.maxNumNonImprove = maxNumNonImprove;
+        this.initialTemp = initialTemp;
+        this.temperatureLength = temperatureLength;
+        this.coolingRate = coolingRate;
+
+        this.R = new int[numChains * n];
+        this.bestR = new int[numChains * n];
+        this.cost = new long[numChains];
+        this.bestCost = new long[numChains];
+        this.iterationNum = new int[numChains];
+        this.numberOfUphillMoves = new int[numChains];
+        this.stateSize = objective.getStateSize(n);
+        this.state = new long[numChains * stateSize];
+
+        long initialCost = objective.getCostFromScratch(T.matrix, initialSolutionR);
+        for (int c = 0; c < numChains; c++) {
+            System.arraycopy(initialSolutionR, 0, R, c * n, n);
+            cost[c] = initialCost;
+            objective.initState(T.matrix, R, c * n, state, c * stateSize);
+        }
+    }
+
+    /**
+     * runAlgorithm function
+     * Runs SA algorithm on every chain and returns best solution Ranking object of each chain
+     *
+     * Each chain follows the same acceptance and stopping rules as SimulatedAnnealing.runAlgorithm, using adjacent swaps.
+     * One lockstep step first picks a swap for every live chain, then reads all of their margins, then applies the moves-
+     * so the scattered matrix reads of different chains are in flight together rather than one after another.
+     *
+     * @return Ranking[] xBest = best ranking found by each chain
+     */
+    public Ranking[] runAlgorithm(){
+
+        // Initialise variables
+        Random random = new Random();
+        int[][] matrix = T.matrix;
+        double[] temp = new double[numChains];
+        int[] numNonImprove = new int[numChains];
+        int[] tempIteration = new int[numChains]; // iterations done at current temperature
+        int[] live = new int[numChains]; // indexes of chains which haven't met stopping criterion
+        int numLive = 0;
+
+        // Per-step scratch buffers
+        int[] swap = new int[numChains];
+        long[] change = new long[numChains];
+
+        System.arraycopy(R, 0, bestR, 0, R.length);
+        for (int c = 0; c < numChains; c++) {
+            temp[c] = initialTemp;
+            bestCost[c] = cost[c];
+            iterationNum[c] = 0;
+            numberOfUphillMoves[c] = 0;
+            if (maxNumNonImprove > 0) {
+                live[numLive++] = c;
+            }
+        }
+
+        while (numLive > 0) {
+
+            // Pick an adjacent swap for each chain
+            for (int l = 0; l < numLive; l++) {
+                swap[l] = live[l] * n + random.nextInt(n-1);
+            }
+
+            // Compute change in cost of each swap
+            for (int l = 0; l < numLive; l++) {
+                int off = live[l] * n;
+                change[l] = objective.getAdjacentSwapChange(matrix, R, off, swap[l] - off, state, live[l] * stateSize);
+            }
+
+            // Accept or reject each move, and update stopping criterion
+            int l = 0;
+            while (l < numLive) {
+                int c = live[l];
+                long changeInCost = change[l];
+                iterationNum[c] ++;
+
+                // Downhill/flat move accepted, uphill move accepted probabilistically
+                boolean accept = changeInCost <= 0;
+                if (!accept && random.nextDouble() < Math.pow(Math.E, -(changeInCost / temp[c]))) {
+                    accept = true;
+                    numberOfUphillMoves[c] ++;
+                }
+                if (accept) {
+                    int s = swap[l];
+                    objective.applyAdjacentSwap(matrix, R, c * n, s - c * n, state, c * stateSize);
+                    int b = R[s];
+                    int a = R[s + 1];
+                    R[s] = a;
+                    R[s + 1] = b;
+                    cost[c] += changeInCost;
+                }
+
+                // Check if new best solution found
+                if (cost[c] < bestCost[c]) {
+                    bestCost[c] = cost[c];
+                    System.arraycopy(R, c * n, bestR, c * n, n);
+                    numNonImprove[c] = 0;
+                }
+
+                // Update or reset numNonImprove count
+                if (changeInCost < 0) {
+                    numNonImprove[c] = 0;
+                }else{
+                    numNonImprove[c] ++;
+                }
+
+                // End of temperature, either early on stopping condition or after temperatureLength iterations
+                boolean finished = false;
+                tempIteration[c] ++;
+                if (numNonImprove[c] > maxNumNonImprove || tempIteration[c] == temperatureLength) {
+                    temp[c] *= coolingRate;
+                    tempIteration[c] = 0;
+                    finished = numNonImprove[c] >= maxNumNonImprove;
+                }
+
+                // Remove finished chain from live list, moving last live chain (and its move) into its slot
+                if (finished) {
+                    numLive --;
+                    live[l] = live[numLive];
+                    swap[l] = swap[numLive];
+                    change[l] = change[numLive];
+                }else{
+                    l ++;
+                }
+            }
+        }
+
+        // Build best Ranking of each chain
+        Ranking[] xBest = new Ranking[numChains];
+        for (int c = 0; c < numChains; c++) {
+            int[] bestRanking = Arrays.copyOfRange(bestR, c * n, (c+1) * n);
+            xBest[c] = new Ranking(T, bestRanking, bestCost[c], objective);
+        }
+        return xBest;
+    }
+
+    /**
+     * runAlgorithmXTimes function
+     * Run algorithm x times, numChains chains at a time, and outputs csv in the same format as SimulatedAnnealing.runAlgorithmXTimes
+     * nb- chains in a batch share one run, so Runtime is the batch runtime divided by the number of chains in it
+     *
+     * @return void
+     */
+    public static void runAlgorithmXTimes (Tournament T, int[] initialSolutionR, int maxNumNonImprove, double initialTemp, int temperatureLength, double coolingRate, int x, int numChains, Objective objective){
+
+        ArrayList<String> resultsArray = new ArrayList<String>();
+
+        // Title rows
+        resultsArray.add("Initial Temp:,"+initialTemp);
+        resultsArray.add("Temperature Length:,"+temperatureLength);
+        resultsArray.add("Cooling Rate:,"+coolingRate);
+        resultsArray.add("Max number non improve:,"+maxNumNonImprove);
+        resultsArray.add("");
+        resultsArray.add("Number of runs of algorithm (x):,"+x);
+
+        // Header row
+        resultsArray.add("Kemeny Score,Runtime,Num iterations,Num uphill moves,Best Solution");
+
+        // Run batches of chains and build results array
+        for (int done = 0; done < x; done += numChains) {
+            int batchSize = Math.min(numChains, x - done);
+            long MC_startTime = System.currentTimeMillis();
+            MultiChainAnnealing MC = new MultiChainAnnealing(T, initialSolutionR, batchSize, maxNumNonImprove, initialTemp, temperatureLength, coolingRate, objective);
+            Ranking[] MC_Best = MC.runAlgorithm();
+            long MC_endTime = System.currentTimeMillis();
+            double MC_runtime = (double)(MC_endTime - MC_startTime) / batchSize;
+
+            // Populate results array
+            for (int c = 0; c < batchSize; c++) {
+                resultsArray.add(
+                    MC_Best[c].cost +","+  // Kemeny Score
+                    MC_runtime +","+  // Runtime
+                    MC.iterationNum[c] +","+  // Num iterations
+                    MC.numberOfUphillMoves[c] +","+  // Num uphill moves
+                    " "+Arrays.toString(MC_Best[c].R).replaceAll(", ", "-") // Best solution
+                );
+            }
+        }
+
+        // Add summary stats to resultsArray
+        int startRow = 14;
+        resultsArray.add(6, "Kemeny Score Average:," + "=AVERAGE(A"+startRow+":"+"A"+(startRow+x-1)+")");
+        resultsArray.add(7, "Kemeny Score Standard Dev:," + "=STDEV(A"+startRow+":"+"A"+(startRow+x-1)+")");
+        resultsArray.add(8, "Runtime Average (milliseconds):," + "=AVERAGE(B"+startRow+":"+"B"+(startRow+x-1)+")");
+        resultsArray.add(9, "Num Iterations Average:," + "=AVERAGE(C"+startRow+":"+"C"+(startRow+x-1)+")");
+        resultsArray.add(10, "Num Uphill Moves Average:," + "=AVERAGE(D"+startRow+":"+"D"+(startRow+x-1)+")");
+        resultsArray.add(11, "");
+
+        // Write results to csv
+        String filename = "Results/RunXTimes MultiChain T_"+initialTemp+", TL_"+temperatureLength+", CR_"+coolingRate+", N_"+maxNumNonImprove+", rep_"+x+", chains_"+numChains+".csv";
+        try{
+            // Create new file (overwrite if already exists)
+            File file = new File(filename);
+            file.createNewFile();
+            FileWriter writer = new FileWriter(filename);
+            PrintWriter out = new PrintWriter(writer);
+
+            // Loop through resultsArray
+            for (String row : resultsArray) {
+                out.println(row);
+            }
+            out.close();
+        }
+        catch ( Exception e ) {
+            System.out.println( e );
+        }
+    }
+}
@@ -0,0 +1,125 @@
+
+public interface Objective {
+
+    /**
+     * getCostFromScratch function
+     * Calculates cost of ranking R from scratch (lower cost = better ranking)
+     * Costs are long, as weighted objectives overflow an int from a couple of thousand participants
+     * 
+     * @param int[][] matrix = tournament score matrix
+     * @param int[] R = ranking array (participant numbers starting at 1)
+     * @return long cost
+     */
+    long getCostFromScratch(int[][] matrix, int[] R);
+
+    /**
+     * getAdjacentSwapChange function
+     * Returns change in cost from swapping the participants at positions s and s+1
+     * Called on the ranking before the swap is made, and must not allocate
+     * Solvers use the stateful version below- this one is for one-off moves, e.g. Ranking.getNeighbour
+     * 
+     * @param int[][] matrix = tournament score matrix
+     * @param int[] R = buffer holding ranking, before swap
+     * @param int off = index in R of position 0 (lets several rankings share one buffer)
+     * @param int s = position of upper participant of swap
+     * @return long change in cost (newCost - cost)
+     */
+    long getAdjacentSwapChange(int[][] matrix, int[] R, int off, int s);
+
+    /**
+     * getSwapChange function
+     * Returns change in cost from swapping the participants at positions s1 and s2
+     * Called on the ranking before the swap is made, and must not allocate
+     * 
+     * @param int[][] matrix = tournament score matrix
+     * @param int[] R = buffer holding ranking, before swap
+     * @param int off = index in R of position 0
+     * @param int s1 = first swap position
+     * @param int s2 = second swap position (s1 < s2)
+     * @return long change in cost (newCost - cost)
+     */
+    long getSwapChange(int[][] matrix, int[] R, int off, int s1, int s2);
+
+    /**
+     * getStateSize function
+     * Returns number of longs of solver state the objective keeps per ranking, for a tournament of n participants
+     * Solvers hold the state in a primitive array alongside the ranking, so several rankings can share one buffer
+     * 
+     * @param int n = number of participants
+     * @return int state size (0 if the objective needs no state)
+     */
+    default int getStateSize(int n){
+        return 0;
+    }
+
+    /**
+     * initState function
+     * Fills in the solver state for ranking R- called once before a solver starts making moves
+     * 
+     * @param int[][] matrix = tournament score matrix
+     * @param int[] R = buffer holding ranking
+     * @param int off = index in R of position 0
+     * @param long[] state = buffer holding state
+     * @param int stateOff = index in state of this ranking's state
+     */
+    default void initState(int[][] matrix, int[] R, int off, long[] state, int stateOff){
+    }
+
+    /**
+     * getAdjacentSwapChange function
+     * As getAdjacentSwapChange above, but may use the solver state to avoid work- this is the hot path of every solver
+     * 
+     * @param int[][] matrix = tournament score matrix
+     * @param int[] R = buffer holding ranking, before swap
+     * @param int off = index in R of position 0
+     * @param int s = position of upper participant of swap
+     * @param long[] state = buffer holding state
+     * @param int stateOff = index in state of this ranking's state
+     * @return long change in cost (newCost - cost)
+     */
+    default long getAdjacentSwapChange(int[][] matrix, int[] R, int off, int s, long[] state, int stateOff){
+        return getAdjacentSwapChange(matrix, R, off, s);
+    }
+
+    /**
+     * applyAdjacentSwap function
+     * Updates the solver state for an accepted swap of positions s and s+1- called before the swap is made to R
+     * 
+     * @param int[][] matrix = tournament score matrix
+     * @param int[] R = buffer holding ranking, before swap
+     * @param int off = index in R of position 0
+     * @param int s = position of upper participant of swap
+     * @param long[] state = buffer holding state
+     * @param int stateOff = index in state of this ranking's state
+     */
+    default void applyAdjacentSwap(int[][] matrix, int[] R, int off, int s, long[] state, int stateOff){
+    }
+
+    /**
+     * getDisagreement function
+     * Returns weight of the edge between participants a and b if ranking a above b disagrees with the tournament, otherwise 0
+     * nb- a tie (matrix[a][b] == matrix[b][a]) never disagrees, whichever way round it is ranked
+     * 
+     * @param int[][] matrix = tournament score matrix
+     * @param int above = participant number of higher ranked participant
+     * @param int below = participant number of lower ranked participant
+     * @return int weight of disagreement
+     */
+    static int getDisagreement(int[][] matrix, int above, int below){
+        int win = matrix[below-1][above-1];
+        return (win > matrix[above-1][below-1]) ? win : 0;
+    }
+
+    /**
+     * getFlipChange function
+     * Returns change in Kemeny Score when participants a and b swap order- a was above b, and is now below it
+     * 
+     * @param int[][] matrix = tournament score matrix
+     * @param int a = participant number
+     * @param int b = participant number
+     * @return int change in Kemeny Score of contest a,b
+     */
+    static int getFlipChange(int[][] matrix, int a, int b){
+        return getDisagreement(matrix, b, a) - getDisagreement(matrix, a, b);
+    }
+}
@@ -0,0 +1,157 @@
+import java.util.Arrays;
+import java.util.Random;
+
+public class ObjectiveCheck {
+
+    static boolean failed = false;
+
+    /**
+     * getWeightedScoreReference function
+     * Position-weighted Kemeny Score written out directly, summed in a long- used to catch overflow in PositionWeightedKemenyObjective
+     *
+     * @param int[][] matrix = tournament score matrix
+     * @param int[] R = ranking array
+     * @return long k = position-weighted Kemeny Score
+     */
+    static long getWeightedScoreReference(int[][] matrix, int[] R){
+        int n = R.length;
+        long k = 0;
+        for (int i = 0; i < n; i++) {
+            for (int j = i+1; j < n; j++) {
+                long weight = n - i;
+                k += Objective.getDisagreement(matrix, R[i], R[j]) * weight;
+            }
+        }
+        return k;
+    }
+
+    /**
+     * checkMoves function
+     * Makes random adjacent and random swap moves, checking the change in cost given by the objective against a full rescore
+     *
+     * @param Tournament T
+     * @param int[] R = starting ranking
+     * @param Objective objective
+     * @param int numMoves
+     */
+    static void checkMoves(Tournament T, int[] R, Objective objective, int numMoves){
+        Ranking x = new Ranking(T, R.clone(), objective);
+        for (int i = 0; i < numMoves; i++) {
+            x = (i % 2 == 0) ? x.getNeighbour() : x.getNeighbourRandomSwap();
+            long fromScratch = objective.getCostFromScratch(T.matrix, x.R);
+            if (x.cost != fromScratch) {
+                fail(objective.getClass().getSimpleName() + " n=" + R.length + ": move " + i + " gave cost " + x.cost + ", rescore gives " + fromScratch);
+                return;
+            }
+        }
+    }
+
+    /**
+     * checkStatefulMoves function
+     * Makes random adjacent swaps the way the solvers do- with solver state, in the second ranking of a shared buffer-
+     * checking every change in cost against the stateless one, and the final cost against a full rescore
+     *
+     * @param Tournament T
+     * @param int[] R = starting ranking
+     * @param Objective objective
+     * @param int numMoves
+     */
+    static void checkStatefulMoves(Tournament T, int[] R, Objective objective, int numMoves){
+        int n = R.length;
+        int stateSize = objective.getStateSize(n);
+        int[] buffer = new int[2*n];
+        long[] state = new long[2*stateSize];
+        System.arraycopy(R, 0, buffer, n, n);
+        objective.initState(T.matrix, buffer, n, state, stateSize);
+        long cost = objective.getCostFromScratch(T.matrix, R);
+        Random random = new Random(2);
+        for (int i = 0; i < numMoves; i++) {
+            int s = random.nextInt(n-1);
+            long change = objective.getAdjacentSwapChange(T.matrix, buffer, n, s, state, stateSize);
+            long stateless = objective.getAdjacentSwapChange(T.matrix, buffer, n, s);
+            if (change != stateless) {
+                fail(objective.getClass().getSimpleName() + " n=" + n + ": move " + i + " gave change " + change + " with state, " + stateless + " without");
+                return;
+            }
+            objective.applyAdjacentSwap(T.matrix, buffer, n, s, state, stateSize);
+            int tmp = buffer[n+s];
+            buffer[n+s] = buffer[n+s+1];
+            buffer[n+s+1] = tmp;
+            cost += change;
+        }
+        long fromScratch = objective.getCostFromScratch(T.matrix, Arrays.copyOfRange(buffer, n, 2*n));
+        if (cost != fromScratch) {
+            fail(objective.getClass().getSimpleName() + " n=" + n + ": stateful moves gave cost " + cost + ", rescore gives " + fromScratch);
+        }
+    }
+
+    static void fail(String message){
+        System.out.println("FAIL: " + message);
+        failed = true;
+    }
+
+    /**
+     * main function
+     * Checks every objective's move deltas against a full rescore, with and without solver state, on the 1984 Formula One data and on a random n=2000 tournament,
+     * and checks the position-weighted score at n=2000 against a long reference (it overflowed when costs were held in an int).
+     * Also checks the full Kemeny Score with weights large enough to overflow an int- run with --add-modules jdk.incubator.vector
+     * to include the Vector API kernel
+     * Usage: java ObjectiveCheck tournament_data/Formula_One_1984.wmg
+     */
+    public static void main(String[] args) throws Exception {
+
+        Objective[] objectives = {new KemenyObjective(), new PositionWeightedKemenyObjective(), new TopKObjective(10)};
+
+        // Tournament data from file
+        Tournament T = new Tournament(args[0]);
+        int[] R = new int[T.numParticipants];
+        for (int i = 0; i < T.numParticipants; i++) {
+            R[i] = i+1;
+        }
+        for (Objective objective : objectives) {
+            checkMoves(T, R, objective, 20000);
+            checkStatefulMoves(T, R, objective, 20000);
+        }
+
+        // Random n=2000 tournament, with ranking reversed so most contests disagree
+        int n = 2000;
+        Tournament big = new Tournament(CostBenchmark.randomTournament(n, new Random(1)));
+        int[] reversed = new int[n];
+        for (int i = 0; i < n; i++) {
+            reversed[i] = n-i;
+        }
+        long weighted = new PositionWeightedKemenyObjective().getCostFromScratch(big.matrix, reversed);
+        long reference = getWeightedScoreReference(big.matrix, reversed);
+        if (weighted != reference || weighted <= Integer.MAX_VALUE) {
+            fail("PositionWeightedKemenyObjective n=" + n + ": cost " + weighted + ", reference " + reference);
+        }
+        for (Objective objective : objectives) {
+            checkMoves(big, reversed, objective, 200);
+            checkStatefulMoves(big, reversed, objective, 20000);
+        }
+
+        // Large weights- every lower ranked participant wins by 200,000,000, so row sums overflow an int
+        // Full Kemeny Score must be identical whichever implementation CostEvaluator picks
+        int m = 40;
+        int[][] heavy = new int[m][m];
+        int[] identity = new int[m];
+        for (int a = 0; a < m; a++) {
+            identity[a] = a+1;
+            for (int b = a+1; b < m; b++) {
+                heavy[b][a] = 200000000;
+            }
+        }
+        long expected = 200000000L * m * (m-1) / 2;
+        if (CostEvaluator.getKemenyScoreBlocked(heavy, identity) != expected || CostEvaluator.getKemenyScore(heavy, identity) != expected) {
+            fail("CostEvaluator with large weights: expected " + expected + ", blocked " + CostEvaluator.getKemenyScoreBlocked(heavy, identity) + ", dispatched " + CostEvaluator.getKemenyScore(heavy, identity));
+        }
+        if (CostEvaluator.isVectorised() && CostEvaluator.getKemenyScoreVector(heavy, identity) != expected) {
+            fail("Vector API kernel with large weights: expected " + expected + ", got " + CostEvaluator.getKemenyScoreVector(heavy, identity));
+        }
+
+        System.out.println(failed ? "Objective check failed" : "Objective check passed");
+        if (failed) {
+            System.exit(1);
+        }
+    }
+}
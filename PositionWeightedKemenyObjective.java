@@ -0,0 +1,49 @@
+
+public class PositionWeightedKemenyObjective extends PositionalObjective {
+
+    /**
+     * getPairCost function
+     * Kemeny Score weighted by position- a disagreement costs its edge weight multiplied by (n - position of the higher ranked participant),
+     * so getting the order wrong at the top of the ranking costs up to n times as much as at the bottom
+     */
+    @Override
+    long getPairCost(int[][] matrix, int u, int pu, int v, int pv){
+        int n = matrix.length;
+        if (pu < pv) {
+            return (long) Objective.getDisagreement(matrix, u, v) * (n - pu);
+        }
+        return (long) Objective.getDisagreement(matrix, v, u) * (n - pv);
+    }
+
+    /**
+     * getAdjacentSwapChange function
+     * The swapped contest changes weight n-s, and each swapped participant's contests with participants below both move one weight step
+     * Without solver state those contests are summed directly- O(n-s)
+     */
+    @Override
+    public long getAdjacentSwapChange(int[][] matrix, int[] R, int off, int s){
+
+        int n = matrix.length;
+        int a = R[off+s];
+        int b = R[off+s+1];
+        long kChange = (long) Objective.getFlipChange(matrix, a, b) * (n - s);
+
+        // b moves up a position, so its contests below gain 1 weight step- a moves down, so its contests lose 1
+        for (int i = off+s+2; i < off+n; i++) {
+            kChange += Objective.getDisagreement(matrix, b, R[i]) - Objective.getDisagreement(matrix, a, R[i]);
+        }
+        return kChange;
+    }
+
+    /**
+     * getAdjacentSwapChange function
+     * As above, with the contests below both swapped participants taken from their below sums- O(1)
+     */
+    @Override
+    public long getAdjacentSwapChange(int[][] matrix, int[] R, int off, int s, long[] state, int stateOff){
+        int n = matrix.length;
+        int a = R[off+s];
+        int b = R[off+s+1];
+        return (long) Objective.getFlipChange(matrix, a, b) * (n - s) + getBelowChange(matrix, a, b, state, stateOff);
+    }
+}
@@ -0,0 +1,121 @@
+
+public abstract class PositionalObjective implements Objective {
+
+    // Solver state: below sums, state[stateOff + x-1] = total disagreement of participant x with every participant ranked below it.
+    // Moving a participant changes the cost of every contest it is in, but the total of those contests is its below sum,
+    // so adjacent swaps can be costed in O(1) by subclasses, and an accepted swap changes just two sums.
+
+    /**
+     * getStateSize function
+     * One below sum per participant
+     */
+    @Override
+    public int getStateSize(int n){
+        return n;
+    }
+
+    /**
+     * initState function
+     * Calculates below sum of every participant- O(n^2)
+     */
+    @Override
+    public void initState(int[][] matrix, int[] R, int off, long[] state, int stateOff){
+        int n = matrix.length;
+        for (int i = 0; i < n; i++) {
+            int x = R[off+i];
+            long below = 0;
+            for (int j = i+1; j < n; j++) {
+                below += Objective.getDisagreement(matrix, x, R[off+j]);
+            }
+            state[stateOff + x-1] = below;
+        }
+    }
+
+    /**
+     * applyAdjacentSwap function
+     * b moves above a, so b's below sum gains their contest, and a's loses it- O(1)
+     */
+    @Override
+    public void applyAdjacentSwap(int[][] matrix, int[] R, int off, int s, long[] state, int stateOff){
+        int a = R[off+s];
+        int b = R[off+s+1];
+        state[stateOff + b-1] += Objective.getDisagreement(matrix, b, a);
+        state[stateOff + a-1] -= Objective.getDisagreement(matrix, a, b);
+    }
+
+    /**
+     * getBelowChange function
+     * Returns change in total disagreement with participants below position s+1 when the participants at s and s+1 swap-
+     * b gains all of its contests below, and a loses all of its contests below other than the one with b- O(1)
+     * 
+     * @param int[][] matrix = tournament score matrix
+     * @param int a = participant at position s, before swap
+     * @param int b = participant at position s+1, before swap
+     * @param long[] state = buffer holding state
+     * @param int stateOff = index in state of this ranking's state
+     * @return long change in total disagreement below
+     */
+    static long getBelowChange(int[][] matrix, int a, int b, long[] state, int stateOff){
+        return state[stateOff + b-1] - (state[stateOff + a-1] - Objective.getDisagreement(matrix, a, b));
+    }
+
+    /**
+     * getPairCost function
+     * Returns cost of the contest between participants u and v when ranked at positions pu and pv (pu != pv)
+     * 
+     * @param int[][] matrix = tournament score matrix
+     * @param int u = participant number
+     * @param int pu = position of u
+     * @param int v = participant number
+     * @param int pv = position of v
+     * @return long cost of contest u,v
+     */
+    abstract long getPairCost(int[][] matrix, int u, int pu, int v, int pv);
+
+    /**
+     * getCostFromScratch function
+     * Sums cost of every contest in ranking R- O(n^2)
+     */
+    @Override
+    public long getCostFromScratch(int[][] matrix, int[] R){
+
+        long k = 0;
+        for (int i = 0; i < R.length; i++) {
+            for (int j = i+1; j < R.length; j++) {
+                k += getPairCost(matrix, R[i], i, R[j], j);
+            }
+        }
+        return k;
+    }
+
+    /**
+     * getAdjacentSwapChange function
+     * Falls back on getSwapChange- subclasses override with a cheaper calculation where the objective allows it
+     */
+    @Override
+    public long getAdjacentSwapChange(int[][] matrix, int[] R, int off, int s){
+        return getSwapChange(matrix, R, off, s, s+1);
+    }
+
+    /**
+     * getSwapChange function
+     * Moving a participant can change the cost of every contest it is in, so recalculates all contests of both swapped participants- O(n)
+     */
+    @Override
+    public long getSwapChange(int[][] matrix, int[] R, int off, int s1, int s2){
+
+        int n = matrix.length;
+        int x = R[off+s1];
+        int y = R[off+s2];
+        long kChange = getPairCost(matrix, y, s1, x, s2) - getPairCost(matrix, x, s1, y, s2);
+
+        for (int t = 0; t < n; t++) {
+            if (t != s1 && t != s2) {
+                int z = R[off+t];
+                kChange += getPairCost(matrix, x, s2, z, t) - getPairCost(matrix, x, s1, z, t);
+                kChange += getPairCost(matrix, y, s1, z, t) - getPairCost(matrix, y, s2, z, t);
+            }
+        }
+        return kChange;
+    }
+}
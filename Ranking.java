@@ -5,61 +5,52 @@ import java.util.Random;
 public class Ranking {
 
     public Tournament T;
-    public Integer[] R;
-    public int cost;
+    public int[] R;
+    public long cost;
+    public Objective objective; // cost function being minimised
+
+    private static final Random random = new Random(); // shared, rather than created for every neighbour
 
     /**
      * Ranking constructor
-     * Creates Ranking object and calculates cost from R array 
+     * Creates Ranking object and calculates Kemeny Score from R array 
      * 
      * @param Tournament T
-     * @param Integer[] R = ranking array
+     * @param int[] R = ranking array
      */
-    public Ranking(Tournament T, Integer[] R) {
-        this.T = T;
-        this.R = R;
-        this.cost = getCostFromScratch(R);
+    public Ranking(Tournament T, int[] R) {
+        this(T, R, new KemenyObjective());
     }
 
     /**
      * Ranking constructor
-     * Creates ranking object with cost parameter already set
+     * Creates Ranking object and calculates cost from R array with given objective
      * 
      * @param Tournament T
-     * @param Integer[] R
-     * @param int cost
+     * @param int[] R = ranking array
+     * @param Objective objective
      */
-    public Ranking(Tournament T, Integer[] R, int cost) {
+    public Ranking(Tournament T, int[] R, Objective objective) {
         this.T = T;
         this.R = R;
-        this.cost = cost;
+        this.objective = objective;
+        this.cost = objective.getCostFromScratch(T.matrix, R);
     }
 
     /**
-     * getCostFromScratch function
-     * 
-     * Based on Kemeny Score, which measures amount that ranking R disagrees with tournament T 
-     * A ranking R disagrees with T on an edge (x,y) if x defeats y in T but y is ranked above x in R
-     * We can measure how well R fits T by adding up all the weights of all the edges for which R disagrees with T
+     * Ranking constructor
+     * Creates ranking object with cost parameter already set
      * 
-     * @param Integer[] R = ranking array
-     * @return int k = Kemeny Score (best solution = ranking with lowest k)
+     * @param Tournament T
+     * @param int[] R
+     * @param long cost
+     * @param Objective objective
      */
-    private int getCostFromScratch(Integer[] R){
-
-        int k = 0;
-
-        // Check edges for disagreement
-        for (int a = 1; a <= T.numParticipants; a++) {
-            for (int b = a+1; b <= T.numParticipants; b++) {
-                // Loop through contests, and increment Kemeny Score if tournament (a,b) disagrees with ranking- i.e. if b is above a in ranking
-                int kChange = getkChange(R, a, b);
-                if (kChange > 0) {
-                    k += kChange;
-                }
-            }
-        }
-        return k;
+    public Ranking(Tournament T, int[] R, long cost, Objective objective) {
+        this.T = T;
+        this.R = R;
+        this.cost = cost;
+        this.objective = objective;
     }
 
     /**
@@ -71,82 +62,22 @@ public class Ranking {
     public Ranking getNeighbour(){
 
         // Get neighbour by swapping a random pair of adjacent elements
-        Random random = new Random();
         int swap1 = random.nextInt(R.length-1);
         int swap2 = swap1 + 1;
 
+        // Get cost based on swapped indexes
+        long newCost = cost + objective.getAdjacentSwapChange(T.matrix, R, 0, swap1);
+
         // Create newR array and swap element order
-        Integer[] newR = Arrays.copyOf(R, R.length);
+        int[] newR = Arrays.copyOf(R, R.length);
         newR[swap1] = R[swap2];
         newR[swap2] = R[swap1];
 
-        // Get cost based on swapped indexes
-        int newCost = getCostFromAdjacentSwap(newR, swap1, swap2);
-
         // Create and return neighbour Ranking object
-        Ranking neighbour = new Ranking(T, newR, newCost);
+        Ranking neighbour = new Ranking(T, newR, newCost, objective);
         return neighbour;
     }
 
-    /**
-     * getCostFromAdjacentSwap function
-     * Based on Kemeny Score as previously outlined, but calculates change in cost of a given neighbourhood swap.
-     * 
-     * @param Integer[] newR = R array after swap
-     * @param int swap1 = first swap index
-     * @param int swap2 = second swap index
-     * @return int newCost = updated Kemeny Score
-     */
-    private int getCostFromAdjacentSwap(Integer[] newR, int swap1, int swap2){
-
-        int newCost = cost;
-        int s1 = Math.min(swap1, swap2);
-        int s2 = Math.max(swap1, swap2);
-
-        int a = newR[s1];
-        int b = newR[s2];
-        int kChange = getkChange(newR, a, b);
-
-        newCost += kChange;
-        return newCost;
-    }
-
-    /**
-     * getkChange
-     * Returns the change in Kemeny Score of a single contest between participants a & b
-     * nb- returns positive weight when a beats b, and negative weight when b beats a
-     * 
-     * @param R = given ranking
-     * @param a = participant number
-     * @param b = participant number
-     * @return int k = change in Kemeny Score (positive/negative weight of edge a,b)
-     */
-    private int getkChange(Integer[] R, int a, int b){
-
-        // Get positions in ranking
-        int rankA = Arrays.asList(R).indexOf(a);
-        int rankB = Arrays.asList(R).indexOf(b);
-
-        int k=0;
-        if (T.matrix[a-1][b-1] > T.matrix[b-1][a-1]) {       
-            // a won, so a should be before b in ranking
-            if (rankA > rankB) {
-                k += T.matrix[a-1][b-1];
-            }else{
-                k -= T.matrix[a-1][b-1];
-            }
-        }else if (T.matrix[b-1][a-1] > T.matrix[a-1][b-1]){
-            // b won, so a should be after a in ranking
-            if (rankA < rankB) {
-                k += T.matrix[b-1][a-1];
-            }else{
-                k -= T.matrix[b-1][a-1];
-            }
-        }
-        return k;
-    }
-
-
     /**
      * getNeighbourRandomSwap function
      * Returns neighbour of Ranking R, by swapping the position of 2 random elements
@@ -155,9 +86,6 @@ public class Ranking {
      */
     public Ranking getNeighbourRandomSwap(){
 
-        Random random = new Random();
-        Integer[] newR = Arrays.copyOf(R, R.length);
-
         // Get neighbour by swapping 2 random indexes
         int swap1 = random.nextInt(R.length);
         int swap2 = random.nextInt(R.length -1); // -1 because 1 less index available for swap
@@ -166,55 +94,20 @@ public class Ranking {
         if (swap1 <= swap2) {
             swap2 ++;
         }
-        newR[swap1] = R[swap2];
-        newR[swap2] = R[swap1];
 
         // Get cost based on swapped indexes
-        int newCost = getCostFromRandomSwap(newR, swap1, swap2);
+        long newCost = cost + objective.getSwapChange(T.matrix, R, 0, Math.min(swap1, swap2), Math.max(swap1, swap2));
+
+        // Create newR array and swap element order
+        int[] newR = Arrays.copyOf(R, R.length);
+        newR[swap1] = R[swap2];
+        newR[swap2] = R[swap1];
 
         // Create and return neighbour Ranking object
-        Ranking neighbour = new Ranking(T, newR, newCost);
+        Ranking neighbour = new Ranking(T, newR, newCost, objective);
         return neighbour;
     }
 
-    /**
-     * getCostFromRandomSwap function
-     * Based on Kemeny Score as previously outlined, but calculates change in cost of a given neighbourhood swap.
-     * 
-     * @param Integer[] newR = R array after swap
-     * @param int swap1 = first swap index
-     * @param int swap2 = second swap index
-     * @return int newCost = updated Kemeny Score
-     */
-    private int getCostFromRandomSwap(Integer[] newR, int swap1, int swap2){
-
-        int newCost = cost;
-        int s1 = Math.min(swap1, swap2);
-        int s2 = Math.max(swap1, swap2);
-
-        // Check swapped indexes
-        int a = newR[s1];
-        int b = newR[s2];
-        int kChange = getkChange(newR, a, b);
-        newCost += kChange;
-
-        // Check middle indexes:
-        for (int i = s1+1; i <= (s2-1); i++) {
-            // swap1 + middle index
-            a = newR[s1];
-            b = newR[i];
-            kChange = getkChange(newR, a, b);
-            newCost += kChange;
-
-            // middle index + swap2
-            a = newR[i];
-            b = newR[s2];
-            kChange = getkChange(newR, a, b);
-            newCost += kChange;
-        }
-        return newCost;
-    }
-
     public void printParticipants(){
         for (Integer r : R) {
             System.out.println(r + ": "+T.participants.get(r));
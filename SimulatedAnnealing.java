@@ -13,6 +13,9 @@ public class SimulatedAnnealing {
     double initialTemp;
     int temperatureLength; // number of iterations at a given temperature
     double coolingRate; // rate at which temperature is reduced
+    long deadline; // algorithm stops early once System.currentTimeMillis() reaches this time (0 = no limit)
+    boolean budgetExceeded; // true if the last run was stopped by deadline rather than maxNumNonImprove
+    Objective objective; // cost function being minimised
 
     /**
      * SimulatedAnnealing constructor
@@ -25,10 +28,28 @@ public class SimulatedAnnealing {
      * @param temperatureLength
      * @param coolingRate
      */
-    public SimulatedAnnealing(Tournament T, Integer[] initialSolutionR, int maxNumNonImprove, double initialTemp, int temperatureLength, double coolingRate){       
+    public SimulatedAnnealing(Tournament T, int[] initialSolutionR, int maxNumNonImprove, double initialTemp, int temperatureLength, double coolingRate){       
+        this(T, initialSolutionR, maxNumNonImprove, initialTemp, temperatureLength, coolingRate, 0, new KemenyObjective());
+    }
+
+    /**
+     * SimulatedAnnealing constructor
+     * Creates SimulatedAnnealing object with a deadline and objective - the deadline is used by batch mode so one large tournament cannot hold a worker indefinitely
+     * 
+     * @param T
+     * @param initialSolutionR
+     * @param maxNumNonImprove
+     * @param initialTemp
+     * @param temperatureLength
+     * @param coolingRate
+     * @param deadline = time (System.currentTimeMillis()) the run must stop by (0 = no limit)
+     * @param objective = cost function to minimise, e.g. KemenyObjective
+     */
+    public SimulatedAnnealing(Tournament T, int[] initialSolutionR, int maxNumNonImprove, double initialTemp, int temperatureLength, double coolingRate, long deadline, Objective objective){
 
         this.T = T;
-        this.initialSolution = new Ranking(T, initialSolutionR);
+        this.objective = objective;
+        this.initialSolution = new Ranking(T, initialSolutionR, objective);
         this.maxNumNonImprove = maxNumNonImprove; 
         this.numberOfUphillMoves = 0;
         this.iterationNum = 0;
@@ -36,11 +57,15 @@ public class SimulatedAnnealing {
         this.initialTemp = initialTemp;
         this.temperatureLength = temperatureLength;
         this.coolingRate = coolingRate;
+        this.deadline = deadline;
+        this.budgetExceeded = false;
     }
 
     /**
      * runAlgorithm function
      * Runs SA algorithm and returns best solution Ranking object
+     * xNow is held as a ranking array that neighbours are swapped into in place- the change in cost is found before the swap,
+     * so rejected moves cost nothing, and a Ranking is only copied out when a new best solution is found
      * 
      * @return Ranking xBest = best ranking found
      */
@@ -49,25 +74,36 @@ public class SimulatedAnnealing {
         // Initialise variables
         Random random = new Random();
         double temp = initialTemp;
-        Ranking xNow = initialSolution;
+        int[] xNow = Arrays.copyOf(initialSolution.R, initialSolution.R.length);
+        long costNow = initialSolution.cost;
+        long[] state = new long[objective.getStateSize(xNow.length)]; // objective state, kept up to date with xNow
+        objective.initState(T.matrix, xNow, 0, state, 0);
         Ranking xBest = initialSolution;
         iterationNum = 0;
+        budgetExceeded = false;
 
         // OUTER LOOP- while stopping criterion not met-
         int numNonImprove = 0;
         while (numNonImprove < maxNumNonImprove) {
+
+            // Check runtime budget once per temperature, so the clock isn't read on every iteration
+            if (deadline > 0 && System.currentTimeMillis() >= deadline) {
+                budgetExceeded = true;
+                break;
+            }
             
             // INNER LOOP- check TL neighbours at each temperature
             for (int i = 0; i < temperatureLength; i++) {
                 iterationNum ++;
 
-                // Get neighbour and compute improvement in cost = (newCost - costNow)
-                Ranking xNeighbour = xNow.getNeighbour();
-                double changeInCost = (xNeighbour.cost - xNow.cost);
+                // Get neighbour by swapping a random pair of adjacent elements, and compute improvement in cost = (newCost - costNow)
+                int swap = random.nextInt(xNow.length-1);
+                long changeInCost = objective.getAdjacentSwapChange(T.matrix, xNow, 0, swap, state, 0);
 
                 // Downhill/flat move to better/equivalent solution- accept new solution
+                boolean accept = false;
                 if (changeInCost <= 0) {
-                    xNow = xNeighbour;
+                    accept = true;
                 }else{
                     // Uphill move to worse solution- accept solution probabilistically
                     double q = random.nextDouble();
@@ -76,14 +112,19 @@ public class SimulatedAnnealing {
 
                     // If q < e^(-changeInCost / T): accept change, update xNow
                     if (q < prob) {
-                        xNow = xNeighbour;
+                        accept = true;
                         numberOfUphillMoves ++;
                     }
                 }
+                if (accept) {
+                    objective.applyAdjacentSwap(T.matrix, xNow, 0, swap, state, 0);
+                    swapAdjacent(xNow, swap);
+                    costNow += changeInCost;
+                }
 
                 // Check if new best solution found
-                if (xNow.cost < xBest.cost) {
-                    xBest = xNow;
+                if (costNow < xBest.cost) {
+                    xBest = new Ranking(T, Arrays.copyOf(xNow, xNow.length), costNow, objective);
                     numNonImprove = 0;
                 }
                 
@@ -107,6 +148,20 @@ public class SimulatedAnnealing {
     }
 
 
+    /**
+     * swapAdjacent function
+     * Swaps the elements at positions swap and swap+1 of ranking array R in place
+     * 
+     * @param int[] R = ranking array
+     * @param int swap = position of upper element
+     * @return void
+     */
+    private static void swapAdjacent(int[] R, int swap){
+        int tmp = R[swap];
+        R[swap] = R[swap+1];
+        R[swap+1] = tmp;
+    }
+
     /**
      * analyseSingleRun function
      * Run SA algorithm and output a csv summary of xNow at each iteration
@@ -131,12 +186,15 @@ public class SimulatedAnnealing {
         // Initialise variables
         Random random = new Random();
         double temp = initialTemp;
-        Ranking xNow = initialSolution;
+        int[] xNow = Arrays.copyOf(initialSolution.R, initialSolution.R.length);
+        long costNow = initialSolution.cost;
+        long[] state = new long[objective.getStateSize(xNow.length)]; // objective state, kept up to date with xNow
+        objective.initState(T.matrix, xNow, 0, state, 0);
         Ranking xBest = initialSolution;
         iterationNum = 0;
 
         // Add initial solution to results array
-        resultsArray.add(iterationNum + "," + xNow.cost);
+        resultsArray.add(iterationNum + "," + costNow);
 
         // OUTER LOOP- while stopping criterion not met-
         int numNonImprove = 0;
@@ -146,20 +204,22 @@ public class SimulatedAnnealing {
             for (int i = 0; i < temperatureLength; i++) {
                 iterationNum ++;
 
-                // Get neighbour and compute improvement in cost = (newCost - costNow)
-                Ranking xNeighbour = xNow.getNeighbour();
-                double changeInCost = (xNeighbour.cost - xNow.cost);
+                // Get neighbour by swapping a random pair of adjacent elements, and compute improvement in cost = (newCost - costNow)
+                int swap = random.nextInt(xNow.length-1);
+                long changeInCost = objective.getAdjacentSwapChange(T.matrix, xNow, 0, swap, state, 0);
 
                 // Add neighbour to results array
-                resultsArray.add(iterationNum + "," + xNeighbour.cost);
+                resultsArray.add(iterationNum + "," + (costNow + changeInCost));
 
                 // Downhill/flat move to better/equivalent solution- accept new solution
                 if (changeInCost <= 0) {
-                    xNow = xNeighbour;
+                    objective.applyAdjacentSwap(T.matrix, xNow, 0, swap, state, 0);
+                    swapAdjacent(xNow, swap);
+                    costNow += changeInCost;
 
                     // Update xBest and reset numNonImprove if better solution found
                     if (changeInCost < 0) {
-                        xBest = xNow;
+                        xBest = new Ranking(T, Arrays.copyOf(xNow, xNow.length), costNow, objective);
                         numNonImprove = 0;
                     }
                 }else{
@@ -170,7 +230,9 @@ public class SimulatedAnnealing {
 
                     // If q < e^(-changeInCost / T): accept change, update xNow
                     if (q < prob) {
-                        xNow = xNeighbour;
+                        objective.applyAdjacentSwap(T.matrix, xNow, 0, swap, state, 0);
+                        swapAdjacent(xNow, swap);
+                        costNow += changeInCost;
                         numberOfUphillMoves ++;
                     }
 
@@ -218,7 +280,7 @@ public class SimulatedAnnealing {
      * 
      * @return void
      */
-    public void runAlgorithmXTimes (Tournament T, Integer[] initialSolutionR, int maxNumNonImprove, double initialTemp, int temperatureLength, double coolingRate, int x){
+    public void runAlgorithmXTimes (Tournament T, int[] initialSolutionR, int maxNumNonImprove, double initialTemp, int temperatureLength, double coolingRate, int x, Objective objective){
 
         ArrayList<String> resultsArray = new ArrayList<String>();
 
@@ -236,7 +298,7 @@ public class SimulatedAnnealing {
         // Run algorithm and build results array 
         for (int i = 0; i < x; i++) {
             long SAx_startTime = System.currentTimeMillis();
-            SimulatedAnnealing SAx = new SimulatedAnnealing(T, initialSolutionR, maxNumNonImprove, initialTemp, temperatureLength, coolingRate);
+            SimulatedAnnealing SAx = new SimulatedAnnealing(T, initialSolutionR, maxNumNonImprove, initialTemp, temperatureLength, coolingRate, 0, objective);
             Ranking SAx_Best = SAx.runAlgorithm();
             long SAx_endTime = System.currentTimeMillis();
             long SAx_runtime = SAx_endTime - SAx_startTime;
@@ -287,7 +349,7 @@ public class SimulatedAnnealing {
         // T.printMatrix();
 
         // Construct initial solution using the order of participants in input file, and create Ranking R
-        Integer[] initialSolutionR = new Integer[T.numParticipants];
+        int[] initialSolutionR = new int[T.numParticipants];
         for (int i = 0; i < T.numParticipants; i++) {
             initialSolutionR[i] = i+1;
         }
@@ -325,7 +387,16 @@ public class SimulatedAnnealing {
         // RUN ALGORITHM X TIMES TO SEE VARIATION FOR GIVEN PARAMETERS
         // int x = 1000;
         // SimulatedAnnealing SA = new SimulatedAnnealing(T, initialSolutionR, maxNumNonImprove, initialTemp, temperatureLength, coolingRate);
-        // SA.runAlgorithmXTimes(T, initialSolutionR, maxNumNonImprove, initialTemp, temperatureLength, coolingRate, x);
+        // SA.runAlgorithmXTimes(T, initialSolutionR, maxNumNonImprove, initialTemp, temperatureLength, coolingRate, x, new KemenyObjective());
+
+        // RUN ALGORITHM X TIMES, ADVANCING numChains CHAINS IN LOCKSTEP ON ONE THREAD
+        // int x = 1000;
+        // int numChains = 16;
+        // MultiChainAnnealing.runAlgorithmXTimes(T, initialSolutionR, maxNumNonImprove, initialTemp, temperatureLength, coolingRate, x, numChains, new KemenyObjective());
+
+        // MINIMISE A DIFFERENT OBJECTIVE- position-weighted Kemeny Score, or Kemeny Score of top 10 positions only
+        // SimulatedAnnealing SA = new SimulatedAnnealing(T, initialSolutionR, maxNumNonImprove, initialTemp, temperatureLength, coolingRate, 0, new PositionWeightedKemenyObjective());
+        // SimulatedAnnealing SA = new SimulatedAnnealing(T, initialSolutionR, maxNumNonImprove, initialTemp, temperatureLength, coolingRate, 0, new TopKObjective(10));
 
     }
 }
\ No newline at end of file
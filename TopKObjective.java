@@ -0,0 +1,116 @@
+
+public class TopKObjective extends PositionalObjective {
+
+    int k; // number of ranked positions- participants below position k form one unordered group
+
+    /**
+     * TopKObjective constructor
+     * Kemeny Score of a partial ranking- only the top k positions are ranked, as on a leaderboard, and the remaining participants
+     * are tied with each other. Contests between two participants outside the top k cost nothing.
+     * k must be between 1 and n-1- k = 0 would make every ranking cost 0, and k >= n is just KemenyObjective.
+     * Rankings with n <= k are rejected by getCostFromScratch, as n isn't known until then.
+     * 
+     * @param int k = number of ranked positions
+     * @throws IllegalArgumentException if k < 1
+     */
+    public TopKObjective(int k) {
+        if (k < 1) {
+            throw new IllegalArgumentException("k must be at least 1, got " + k);
+        }
+        this.k = k;
+    }
+
+    /**
+     * getCostFromScratch function
+     * As PositionalObjective.getCostFromScratch, after checking k is less than the number of participants
+     * 
+     * @throws IllegalArgumentException if k >= n
+     */
+    @Override
+    public long getCostFromScratch(int[][] matrix, int[] R){
+        if (k >= R.length) {
+            throw new IllegalArgumentException("k must be less than the number of participants (" + R.length + "), got " + k);
+        }
+        return super.getCostFromScratch(matrix, R);
+    }
+
+    /**
+     * getPairCost function
+     * Disagreement is charged when the higher ranked participant is in the top k
+     */
+    @Override
+    long getPairCost(int[][] matrix, int u, int pu, int v, int pv){
+        if (pu < pv) {
+            return (pu < k) ? Objective.getDisagreement(matrix, u, v) : 0;
+        }
+        return (pv < k) ? Objective.getDisagreement(matrix, v, u) : 0;
+    }
+
+    /**
+     * getAdjacentSwapChange function
+     * O(1) inside the top k or the unordered group- without solver state, O(n-k) for the swap across position k,
+     * which moves a participant in and one out
+     */
+    @Override
+    public long getAdjacentSwapChange(int[][] matrix, int[] R, int off, int s){
+
+        if (s >= k) {
+            return 0;
+        }
+        int a = R[off+s];
+        int b = R[off+s+1];
+        long kChange = Objective.getFlipChange(matrix, a, b);
+
+        // b joins the top k, so its contests with the unordered group now count- a leaves, so its contests no longer count
+        if (s+1 == k) {
+            int n = matrix.length;
+            for (int i = off+s+2; i < off+n; i++) {
+                kChange += Objective.getDisagreement(matrix, b, R[i]) - Objective.getDisagreement(matrix, a, R[i]);
+            }
+        }
+        return kChange;
+    }
+
+    /**
+     * getAdjacentSwapChange function
+     * As above, with the swap across position k taken from the swapped participants' below sums- O(1) for every swap
+     */
+    @Override
+    public long getAdjacentSwapChange(int[][] matrix, int[] R, int off, int s, long[] state, int stateOff){
+
+        if (s >= k) {
+            return 0;
+        }
+        int a = R[off+s];
+        int b = R[off+s+1];
+        long kChange = Objective.getFlipChange(matrix, a, b);
+        if (s+1 == k) {
+            kChange += getBelowChange(matrix, a, b, state, stateOff);
+        }
+        return kChange;
+    }
+
+    /**
+     * getSwapChange function
+     * O(s2-s1) inside the top k, as for KemenyObjective, and 0 inside the unordered group
+     */
+    @Override
+    public long getSwapChange(int[][] matrix, int[] R, int off, int s1, int s2){
+
+        if (s1 >= k) {
+            return 0;
+        }
+        if (s2 >= k) {
+            return super.getSwapChange(matrix, R, off, s1, s2);
+        }
+
+        int x = R[off+s1];
+        int y = R[off+s2];
+        long kChange = Objective.getFlipChange(matrix, x, y);
+        for (int i = off+s1+1; i < off+s2; i++) {
+            kChange += Objective.getFlipChange(matrix, x, R[i]);
+            kChange += Objective.getFlipChange(matrix, R[i], y);
+        }
+        return kChange;
+    }
+}
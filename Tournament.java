@@ -46,6 +46,21 @@ public class Tournament {
         in.close();
     }
 
+    /**
+     * Tournament constructor
+     * Creates Tournament object from an existing score matrix, e.g. a generated tournament for benchmarking
+     * 
+     * @param int[][] matrix = score matrix, matrix[a][b] = amount participant a+1 beat participant b+1 by
+     */
+    public Tournament(int[][] matrix) {
+        numParticipants = matrix.length;
+        participants = new HashMap<Integer, Participant>();
+        for (Integer i = 1; i <= numParticipants; i++) {
+            participants.put(i, new Participant(String.valueOf(i), "Participant "+i));
+        }
+        this.matrix = matrix;
+    }
+
     /**
      * buildEdgesArray function
      * @return HashMap<Integer, Edge> edges = array of edge objects for a given ranking
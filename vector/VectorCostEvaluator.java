@@ -0,0 +1,90 @@
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Vector API kernel for CostEvaluator.getKemenyScore
+ * Kept in its own directory because it needs the incubator module to build and run:
+ * 
+ *       javac --add-modules jdk.incubator.vector -d . vector/VectorCostEvaluator.java
+ *       java --add-modules jdk.incubator.vector SimulatedAnnealing tournament_data/Formula_One_1984.wmg
+ * 
+ * CostEvaluator picks this class up at runtime when both are present, and uses its scalar loop otherwise.
+ */
+public class VectorCostEvaluator {
+
+    static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+    static final VectorSpecies<Long> LONG_SPECIES = VectorSpecies.of(long.class, SPECIES.vectorShape()); // half as many lanes, for sums
+    static final int BLOCK_SIZE = 16; // rows of positions processed together, sharing reads of each lower ranked row
+
+    /**
+     * getKemenyScore function
+     * Calculates Kemeny Score of ranking R from scratch in O(n^2), giving identical results to CostEvaluator.getKemenyScoreBlocked
+     * 
+     * Works in ranking order: for the participant u at position p, its matrix row is gathered into ranking order, so lane q holds
+     * matrix[u][R[q]-1], and compared lane by lane with the mirrored weights matrix[R[q]-1][u] of every participant ranked below it.
+     * Lanes where the lower ranked participant won are the disagreements, and are summed as longs, as in the scalar loop.
+     * The mirrored weights are copied out for a block of positions at a time, so each lower ranked row is read once per block.
+     * 
+     * @param int[][] matrix = tournament score matrix
+     * @param int[] R = ranking array (participant numbers starting at 1)
+     * @return long k = Kemeny Score
+     */
+    public static long getKemenyScore(int[][] matrix, int[] R){
+
+        int n = R.length;
+
+        // Matrix index of participant at each position
+        int[] idx = new int[n];
+        for (int i = 0; i < n; i++) {
+            idx[i] = R[i]-1;
+        }
+
+        int[][] mirror = new int[BLOCK_SIZE][n]; // mirror[p-pStart][q] = matrix[idx[q]][idx[p]]
+        long k = 0;
+        for (int pStart = 0; pStart < n; pStart += BLOCK_SIZE) {
+            int pEnd = Math.min(pStart + BLOCK_SIZE, n);
+
+            // Copy out mirrored weights for this block of positions- row-wise over lower ranked participants
+            for (int q = pStart+1; q < n; q++) {
+                int[] rowV = matrix[idx[q]];
+                for (int p = pStart; p < pEnd && p < q; p++) {
+                    mirror[p-pStart][q] = rowV[idx[p]];
+                }
+            }
+
+            for (int p = pStart; p < pEnd; p++) {
+                int[] rowU = matrix[idx[p]];
+                int[] rowMirror = mirror[p-pStart];
+                // Disagreements are widened into two long vectors before summing- weights can be large enough to overflow an int sum
+                LongVector sumLow = LongVector.zero(LONG_SPECIES);
+                LongVector sumHigh = LongVector.zero(LONG_SPECIES);
+
+                // Lanes q > p- participants ranked below u
+                int q = p+1;
+                int upperBound = q + SPECIES.loopBound(n - q);
+                for (; q < upperBound; q += SPECIES.length()) {
+                    IntVector won = IntVector.fromArray(SPECIES, rowU, 0, idx, q);
+                    IntVector lost = IntVector.fromArray(SPECIES, rowMirror, q);
+                    VectorMask<Integer> disagree = lost.compare(VectorOperators.GT, won);
+                    IntVector charged = IntVector.zero(SPECIES).blend(lost, disagree);
+                    sumLow = sumLow.add((LongVector) charged.convert(VectorOperators.I2L, 0));
+                    sumHigh = sumHigh.add((LongVector) charged.convert(VectorOperators.I2L, 1));
+                }
+                k += sumLow.add(sumHigh).reduceLanes(VectorOperators.ADD);
+
+                // Remaining lanes
+                for (; q < n; q++) {
+                    int won = rowU[idx[q]];
+                    int lost = rowMirror[q];
+                    if (lost > won) {
+                        k += lost;
+                    }
+                }
+            }
+        }
+        return k;
+    }
+}